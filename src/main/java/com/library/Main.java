@@ -1,5 +1,6 @@
 package com.library;
 
+import com.library.migrations.MigrationServer;
 import com.library.migrations.MigrationTool;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,15 +14,20 @@ public class Main {
     /**
      * Точка входа для приложения. Cчитывает аргументы командной строки, проверяет их
      * корректность и передает выполнение соответствующей команды в {@link MigrationTool}.
+     * Команда serve запускает долгоживущий {@link MigrationServer}.
      */
     public static void main(String[] args) {
         if (args.length == 0) {
-            log.error("No command specified. Available commands: migrate, rollback, status");
+            log.error("No command specified. Available commands: migrate, rollback, status, serve");
             return;
         }
 
         String command = args[0];
         try {
+            if ("serve".equals(command)) {
+                MigrationServer.start();
+                return;
+            }
             MigrationTool.executeMigration(command);
         } catch (Exception e) {
             log.error("Error executing migration: {}", e.getMessage(), e);
@@ -1,5 +1,6 @@
 package com.library.migrations;
 
+import com.library.config.PropertiesUtils;
 import lombok.extern.slf4j.Slf4j;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -7,6 +8,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,10 +18,41 @@ import java.util.stream.Collectors;
 /**
  * Класс для чтения и обработки файлов миграций.
  * Он отвечает за чтение миграционных SQL-файлов и поиск доступных миграций.
+ * Если задано свойство migrations.dir, миграции читаются из этого каталога, иначе из ресурсов.
  */
 @Slf4j
 public class MigrationFileReader {
 
+    private static final String MIGRATIONS_DIR_PROPERTY = "migrations.dir";
+
+    private final Path migrationsDir;
+
+    /**
+     * Создает читателя миграций с каталогом из свойства migrations.dir (если оно задано)
+     */
+    public MigrationFileReader() {
+        this(configuredMigrationsDir());
+    }
+
+    /**
+     * Создает читателя миграций для заданного каталога
+     *
+     * @param migrationsDir каталог файловой системы с миграциями или null для чтения из ресурсов
+     */
+    public MigrationFileReader(Path migrationsDir) {
+        this.migrationsDir = migrationsDir;
+    }
+
+    /**
+     * Возвращает каталог миграций из свойства migrations.dir
+     *
+     * @return каталог с миграциями или null, если свойство не задано
+     */
+    public static Path configuredMigrationsDir() {
+        String dir = PropertiesUtils.get(MIGRATIONS_DIR_PROPERTY);
+        return dir == null ? null : Path.of(dir);
+    }
+
     /**
      * Читает файл миграции с заданным путем
      *
@@ -28,6 +61,10 @@ public class MigrationFileReader {
      * @throws IOException если возникает ошибка при чтении файла
      */
     public String readMigrationFile(String filePath) throws IOException {
+        if (migrationsDir != null) {
+            return readFromDirectory(filePath);
+        }
+
         InputStream in = getClass().getClassLoader().getResourceAsStream(filePath);
         if (in == null) {
             log.error("Migration file not found: {}", filePath);
@@ -43,14 +80,20 @@ public class MigrationFileReader {
     }
 
     /**
-     * Находит все файлы миграций в заданном каталоге.
+     * Находит все файлы миграций в заданном каталоге ресурсов (с учетом подкаталогов).
+     * Если задан каталог migrations.dir, параметр path не используется, а файлы ищутся
+     * только в самом каталоге migrations.dir, без подкаталогов.
      *
-     * @param path путь к каталогу с миграциями
+     * @param path путь к каталогу с миграциями в ресурсах
      * @return список имен файлов миграций
      * @throws IOException если возникает ошибка при поиске файлов
      * @throws URISyntaxException если возникает ошибка при работе с URI
      */
     public List<String> findMigrationFiles(String path) throws IOException, URISyntaxException {
+        if (migrationsDir != null) {
+            return listMigrationFiles(migrationsDir);
+        }
+
         List<String> migrationFiles = new ArrayList<>();
 
         var classLoader = getClass().getClassLoader();
@@ -86,8 +129,42 @@ public class MigrationFileReader {
         return migrationFiles;
     }
 
+    /**
+     * Находит файлы миграций в каталоге файловой системы и сортирует их по версии
+     *
+     * @param directory каталог с миграциями
+     * @return список имен файлов миграций
+     * @throws IOException если возникает ошибка при чтении каталога
+     */
+    List<String> listMigrationFiles(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            List<String> migrationFiles = files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(f -> f.matches("V\\d+.*\\.sql"))
+                    .sorted(this::compareVersions)
+                    .toList();
+            log.debug("Found {} migration files in {}.", migrationFiles.size(), directory);
+            return migrationFiles;
+        }
+    }
+
+    private String readFromDirectory(String filePath) throws IOException {
+        Path file = migrationsDir.resolve(Paths.get(filePath).getFileName());
+        if (!Files.isRegularFile(file)) {
+            log.error("Migration file not found: {}", file);
+            throw new IOException("Migration file not found: " + filePath);
+        }
+        return Files.readString(file);
+    }
 
-    private int compareVersions(String f1, String f2) {
+    /**
+     * Сравнивает файлы миграций по номеру версии из префикса имени (V1__, V2__ ...)
+     *
+     * @param f1 имя первого файла миграции
+     * @param f2 имя второго файла миграции
+     * @return результат сравнения номеров версий
+     */
+    int compareVersions(String f1, String f2) {
         try {
             String[] parts1 = f1.split("__");
             String[] parts2 = f2.split("__");
@@ -0,0 +1,155 @@
+package com.library.migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Источник файлов миграций для долгоживущего процесса (режим serve).
+ * Каталог файловой системы перечитывается при каждом обращении, поэтому /migrate всегда видит
+ * файлы, уже лежащие на диске; {@link WatchService} используется только для логирования изменений.
+ * Для миграций из ресурсов (например, внутри JAR) список и содержимое файлов
+ * строятся один раз, так как ресурсы не меняются во время работы процесса
+ */
+@Slf4j
+public class MigrationIndex extends MigrationFileReader implements AutoCloseable {
+
+    private final Path directory;
+    private final WatchService watchService;
+    private final Map<String, String> contentCache = new ConcurrentHashMap<>();
+    private final List<String> migrationFiles;
+
+    /**
+     * Создает источник миграций для каталога и запускает логирование его изменений
+     *
+     * @param directory каталог файловой системы с файлами миграций
+     * @throws IOException если каталог не удалось зарегистрировать в {@link WatchService}
+     */
+    public MigrationIndex(Path directory) throws IOException {
+        super(directory);
+        this.directory = directory;
+        this.migrationFiles = null;
+        this.watchService = directory.getFileSystem().newWatchService();
+        try {
+            register();
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+
+        Thread watcher = new Thread(this::watch, "migration-index-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching migrations directory: {}", directory);
+    }
+
+    /**
+     * Создает неизменяемый индекс для миграций из ресурсов, сканируя их один раз
+     *
+     * @param resourcePath путь к каталогу миграций в ресурсах
+     * @throws IOException если возникает ошибка при поиске файлов
+     * @throws URISyntaxException если возникает ошибка при работе с URI
+     */
+    public MigrationIndex(String resourcePath) throws IOException, URISyntaxException {
+        super(null);
+        this.directory = null;
+        this.watchService = null;
+        this.migrationFiles = List.copyOf(super.findMigrationFiles(resourcePath));
+        log.info("Indexed {} migration files from resources: {}", migrationFiles.size(), resourcePath);
+    }
+
+    /**
+     * Читает файл миграции. Файлы из каталога всегда читаются с диска,
+     * файлы из ресурсов кэшируются после первого чтения
+     *
+     * @param filePath путь к файлу миграции
+     * @return содержимое файла в виде строки
+     * @throws IOException если возникает ошибка при чтении файла
+     */
+    @Override
+    public String readMigrationFile(String filePath) throws IOException {
+        if (directory != null) {
+            return super.readMigrationFile(filePath);
+        }
+
+        String cached = contentCache.get(filePath);
+        if (cached != null) {
+            return cached;
+        }
+        String content = super.readMigrationFile(filePath);
+        contentCache.put(filePath, content);
+        return content;
+    }
+
+    /**
+     * Возвращает отсортированный список миграций: для каталога он читается с диска при каждом вызове,
+     * для ресурсов берется из индекса без повторного сканирования
+     *
+     * @param path не используется: источник всегда привязан к своему каталогу или ресурсам
+     * @return список имен файлов миграций
+     * @throws IOException если возникает ошибка при чтении каталога
+     */
+    @Override
+    public List<String> findMigrationFiles(String path) throws IOException {
+        if (directory != null) {
+            return listMigrationFiles(directory);
+        }
+        return migrationFiles;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            log.info("Stopped watching migrations directory: {}", directory);
+        }
+    }
+
+    private void register() throws IOException {
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    log.info("Migrations directory changed: {} {}", event.kind().name(), event.context());
+                }
+                if (!key.reset() && !reregister()) {
+                    log.warn("Migrations directory is no longer watched: {}. Migrations are still read from disk on each request.",
+                            directory);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Migration index watcher closed.");
+        }
+    }
+
+    private boolean reregister() {
+        //каталог мог быть удален и создан заново (например, target/classes после mvn clean compile)
+        try {
+            register();
+            log.info("Migrations directory re-registered: {}", directory);
+            return true;
+        } catch (IOException e) {
+            log.debug("Error re-registering migrations directory: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.net.URISyntaxException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,6 +27,7 @@ public class MigrationManager {
         """;
     private final Connection connection;
     private final MigrationExecutor executor;
+    private final MigrationFileReader fileReader;
 
     /**
      * Конструктор для инициализации менеджера миграции с использованием соединения с базой данных
@@ -33,8 +35,20 @@ public class MigrationManager {
      * @param connection соединение с базой данных
      */
     public MigrationManager(Connection connection) {
+        this(connection, new MigrationFileReader());
+    }
+
+    /**
+     * Конструктор для инициализации менеджера миграции с заданным источником файлов миграций
+     * (например, {@link MigrationIndex}, который держит список миграций в памяти)
+     *
+     * @param connection соединение с базой данных
+     * @param fileReader источник файлов миграций
+     */
+    public MigrationManager(Connection connection, MigrationFileReader fileReader) {
         this.connection = connection;
         this.executor = new MigrationExecutor(connection);
+        this.fileReader = fileReader;
         log.debug("MigrationManager created.");
     }
 
@@ -51,7 +65,6 @@ public class MigrationManager {
         try {
             ensureMigrationTableExists();
 
-            MigrationFileReader fileReader = new MigrationFileReader();
             List<String> migrationFiles = fileReader.findMigrationFiles("migrations");
             for (String file : migrationFiles) {
                 if (!isMigrationApplied(file)) {
@@ -80,20 +93,26 @@ public class MigrationManager {
      * нет, то выводит соответствующее сообщение об их отсутствии.
      * Каждая запись содержит название файла миграции и дату/время ее применения
      *
+     * @return список строк статуса (по одной на каждую примененную миграцию)
      * @throws SQLException если возникает ошибка при выполнении SQL-запроса
      */
-    public void status() throws SQLException {
+    public List<String> status() throws SQLException {
         String query = "SELECT file_name, applied_at FROM " + MIGRATION_TABLE + " ORDER BY applied_at DESC";
+        List<String> statusLines = new ArrayList<>();
         try (var stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
             if (!rs.isBeforeFirst()) {
                 log.info("No migrations have been applied yet.");
             } else {
                 log.info("Migration status:");
                 while (rs.next()) {
-                    log.info("Migration: {}; applied at: {}", rs.getString("file_name"), rs.getTimestamp("applied_at"));
+                    String fileName = rs.getString("file_name");
+                    var appliedAt = rs.getTimestamp("applied_at");
+                    log.info("Migration: {}; applied at: {}", fileName, appliedAt);
+                    statusLines.add("Migration: " + fileName + "; applied at: " + appliedAt);
                 }
             }
         }
+        return statusLines;
     }
 
     /**
@@ -114,7 +133,6 @@ public class MigrationManager {
         String rollbackFilePath = "migrations/" + rollbackFile;
 
         try {
-            MigrationFileReader fileReader = new MigrationFileReader();
             log.info("Reading rollback file for migration: {}", rollbackFile);
             String rollbackSql = fileReader.readMigrationFile(rollbackFilePath);
 
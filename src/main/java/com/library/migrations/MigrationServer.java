@@ -0,0 +1,331 @@
+package com.library.migrations;
+
+import com.library.config.ConnectionManager;
+import com.library.config.PropertiesUtils;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Долгоживущий процесс миграций (режим serve). Держит прогретое соединение с базой данных
+ * и индекс миграций в памяти, а команды migrate, rollback и status принимает по HTTP:
+ * POST /migrate, POST /rollback, GET /status.
+ * Запросы обрабатываются последовательно в одном потоке, так как миграции
+ * все равно сериализуются блокировкой в {@link MigrationManager}.
+ * Запросы с заголовком Origin или с чужим Host отклоняются, а POST-запросы
+ * дополнительно требуют заголовок X-Migration-Token (со значением server.token, если он задан)
+ */
+@Slf4j
+public class MigrationServer {
+
+    private static final int STOP_GRACE_SECONDS = 5;
+    private static final long COMMAND_TIMEOUT_SECONDS = 300;
+    private static final int DEFAULT_HTTP_PORT = 80;
+    private static final String TOKEN_HEADER = "X-Migration-Token";
+    private static final List<String> LOOPBACK_HOSTS = List.of("localhost", "127.0.0.1", "[::1]");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MigrationFileReader fileReader;
+    private final ConnectionSupplier connectionSupplier;
+    private final Set<String> allowedHosts;
+    private final int port;
+    private final String token;
+    private Connection connection;
+
+    /**
+     * Конструктор сервера миграций
+     *
+     * @param server HTTP-сервер, на котором регистрируются команды
+     * @param fileReader источник файлов миграций
+     * @param connectionSupplier способ получения соединения с базой данных
+     * @param allowedHosts допустимые имена из заголовка Host или null, если допустимо любое имя
+     * @param port порт, который должен быть указан в заголовке Host
+     * @param token значение server.token или null, если токен не задан
+     */
+    MigrationServer(HttpServer server, MigrationFileReader fileReader, ConnectionSupplier connectionSupplier,
+                    Set<String> allowedHosts, int port, String token) {
+        this.server = server;
+        this.executor = Executors.newSingleThreadExecutor();
+        this.fileReader = fileReader;
+        this.connectionSupplier = connectionSupplier;
+        this.allowedHosts = allowedHosts;
+        this.port = port;
+        this.token = token;
+    }
+
+    /**
+     * Запускает сервер на адресе из настроек server.host и server.port
+     * (по умолчанию 127.0.0.1:8085) с токеном из server.token и регистрирует его остановку при завершении JVM
+     *
+     * @return запущенный сервер
+     * @throws SQLException если не удалось установить соединение с базой данных
+     * @throws IOException если не удалось открыть сокет или каталог миграций
+     * @throws URISyntaxException если возникает ошибка при работе с URI каталога миграций
+     * @throws IllegalStateException если адрес не локальный, а server.token не задан
+     */
+    public static MigrationServer start() throws SQLException, IOException, URISyntaxException {
+        String host = PropertiesUtils.get("server.host", "127.0.0.1");
+        int port = Integer.parseInt(PropertiesUtils.get("server.port", "8085"));
+        String token = PropertiesUtils.get("server.token");
+
+        InetAddress address = InetAddress.getByName(host);
+        checkBindAddress(address, token);
+
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+        MigrationServer migrationServer = new MigrationServer(httpServer, createFileReader(),
+                ConnectionManager::getConnection, allowedHosts(host, address), port, token);
+        migrationServer.obtainConnection();
+
+        httpServer.createContext("/migrate", exchange -> migrationServer.handle(exchange, "POST", manager -> {
+            manager.migrate();
+            return "Migrations applied.";
+        }));
+        httpServer.createContext("/rollback", exchange -> migrationServer.handle(exchange, "POST", manager -> {
+            manager.rollback();
+            return "Rollback completed.";
+        }));
+        httpServer.createContext("/status", exchange -> migrationServer.handle(exchange, "GET", manager -> {
+            List<String> statusLines = manager.status();
+            return statusLines.isEmpty() ? "No migrations have been applied yet." : String.join("\n", statusLines);
+        }));
+        httpServer.setExecutor(migrationServer.executor);
+        httpServer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(migrationServer::stop, "migration-server-shutdown"));
+        log.info("Migration server started on http://{}:{}", host, port);
+        return migrationServer;
+    }
+
+    /**
+     * Останавливает сервер, дожидается завершения выполняемой команды, после чего
+     * прекращает наблюдение за каталогом миграций и закрывает соединение с базой данных
+     */
+    public void stop() {
+        server.stop(STOP_GRACE_SECONDS);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Running command didn't finish in {} seconds, stopping anyway.", COMMAND_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while waiting for the running command to finish.");
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            if (fileReader instanceof MigrationIndex index) {
+                index.close();
+            }
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (IOException | SQLException e) {
+            log.error("Error stopping migration server: {}", e.getMessage(), e);
+        }
+        log.info("Migration server stopped.");
+    }
+
+    /**
+     * Проверяет, что сервер без server.token слушает только локальный адрес:
+     * без токена достаточно любого значения X-Migration-Token, что допустимо лишь для loopback
+     *
+     * @param address адрес, на котором будет запущен сервер
+     * @param token значение server.token или null
+     * @throws IllegalStateException если адрес не локальный, а токен не задан
+     */
+    static void checkBindAddress(InetAddress address, String token) {
+        if (token == null && !address.isLoopbackAddress()) {
+            throw new IllegalStateException("server.token must be set when server.host is not a loopback address: "
+                    + address.getHostAddress());
+        }
+    }
+
+    /**
+     * Возвращает имена, допустимые в заголовке Host: loopback-имена и настроенный server.host.
+     * Для адреса 0.0.0.0 (или ::) имя не проверяется, так как клиенты обращаются по любому
+     * адресу машины; в этом случае POST-запросы защищены обязательным server.token
+     *
+     * @param host значение server.host
+     * @param address адрес, на котором будет запущен сервер
+     * @return множество допустимых имен в нижнем регистре или null, если допустимо любое имя
+     */
+    static Set<String> allowedHosts(String host, InetAddress address) {
+        if (address.isAnyLocalAddress()) {
+            return null;
+        }
+        Set<String> hosts = new HashSet<>(LOOPBACK_HOSTS);
+        String configuredHost = host.toLowerCase(Locale.ROOT);
+        if (configuredHost.contains(":") && !configuredHost.startsWith("[")) {
+            configuredHost = "[" + configuredHost + "]";
+        }
+        hosts.add(configuredHost);
+        return hosts;
+    }
+
+    /**
+     * Проверяет запрос до обращения к базе данных: метод, заголовки Origin и Host и токен для POST-запросов
+     *
+     * @param method ожидаемый HTTP-метод команды
+     * @param requestMethod HTTP-метод запроса
+     * @param headers заголовки запроса
+     * @return ответ с отказом или null, если запрос можно выполнять
+     */
+    Response checkRequest(String method, String requestMethod, Headers headers) {
+        if (!method.equals(requestMethod)) {
+            return new Response(405, "Method not allowed. Use " + method);
+        }
+        if (headers.containsKey("Origin") || !isAllowedHost(headers.getFirst("Host"))) {
+            return new Response(403, "Forbidden");
+        }
+        if ("POST".equals(method) && !isAuthorized(headers.getFirst(TOKEN_HEADER))) {
+            return new Response(401, "Missing or invalid " + TOKEN_HEADER + " header");
+        }
+        return null;
+    }
+
+    /**
+     * Выполняет команду на прогретом соединении и преобразует результат в HTTP-ответ:
+     * 200 при успехе, 409 если миграции уже выполняются другим процессом, 500 при прочих ошибках
+     *
+     * @param command команда для выполнения
+     * @return ответ с результатом выполнения команды
+     */
+    Response execute(Command command) {
+        try {
+            MigrationManager manager = new MigrationManager(obtainConnection(), fileReader);
+            return new Response(200, command.run(manager));
+        } catch (IllegalStateException e) {
+            return new Response(409, e.getMessage());
+        } catch (Exception e) {
+            log.error("Error executing command: {}", e.getMessage(), e);
+            return new Response(500, e.getMessage());
+        }
+    }
+
+    private void handle(HttpExchange exchange, String method, Command command) {
+        Response response = checkRequest(method, exchange.getRequestMethod(), exchange.getRequestHeaders());
+        if (response != null) {
+            log.warn("Rejected request {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), response.status());
+        } else {
+            response = execute(command);
+        }
+
+        try {
+            respond(exchange, response.status(), response.body());
+        } catch (IOException e) {
+            log.warn("Error sending response for {}: {}", exchange.getRequestURI(), e.getMessage());
+        }
+    }
+
+    private boolean isAllowedHost(String hostHeader) {
+        if (hostHeader == null) {
+            return false;
+        }
+        String name = hostHeader.trim().toLowerCase(Locale.ROOT);
+        int requestPort = DEFAULT_HTTP_PORT;
+        int portSeparator = name.lastIndexOf(':');
+        //двоеточие после ']' отделяет порт, двоеточия внутри [::1] относятся к адресу
+        if (portSeparator > name.lastIndexOf(']')) {
+            try {
+                requestPort = Integer.parseInt(name.substring(portSeparator + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            name = name.substring(0, portSeparator);
+        }
+        return requestPort == port && (allowedHosts == null || allowedHosts.contains(name));
+    }
+
+    private boolean isAuthorized(String requestToken) {
+        if (requestToken == null) {
+            return false;
+        }
+        //без server.token (только на loopback) достаточно наличия заголовка:
+        //браузер не отправит его без CORS preflight
+        return token == null || MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), requestToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Connection obtainConnection() throws SQLException {
+        if (connection != null && connection.isValid(5)) {
+            return connection;
+        }
+        if (connection != null) {
+            log.warn("Warm database connection is not valid, reconnecting...");
+            closeQuietly(connection);
+            connection = null;
+        }
+        connection = connectionSupplier.get();
+        return connection;
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Error closing invalid connection: {}", e.getMessage(), e);
+        }
+    }
+
+    private static MigrationFileReader createFileReader() throws IOException, URISyntaxException {
+        Path migrationsDir = MigrationFileReader.configuredMigrationsDir();
+        if (migrationsDir != null) {
+            return new MigrationIndex(migrationsDir);
+        }
+
+        URL url = MigrationServer.class.getClassLoader().getResource("migrations");
+        if (url == null) {
+            log.warn("Migrations directory not found in resources, no migrations will be applied.");
+        } else if ("file".equals(url.getProtocol())) {
+            return new MigrationIndex(Path.of(url.toURI()));
+        } else {
+            log.info("Migrations are packaged in a JAR, directory watching is disabled.");
+        }
+        return new MigrationIndex("migrations");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * HTTP-ответ сервера: код статуса и текст
+     */
+    record Response(int status, String body) {
+    }
+
+    @FunctionalInterface
+    interface Command {
+        String run(MigrationManager manager) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -1,7 +1,10 @@
 package com.library.migrations;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,4 +32,16 @@ public class MigrationFileReaderTest {
         assertNotNull(migrationFiles, "Migration files list shouldn't be null!");
         assertFalse(migrationFiles.isEmpty(), "There should be at least one migration file!");
     }
+
+    @Test
+    void testFindMigrationFiles_FromDirectory(@TempDir Path migrationsDir) throws Exception {
+        Files.writeString(migrationsDir.resolve("V3__Add_index.sql"), "SELECT 3;");
+        Files.writeString(migrationsDir.resolve("U3__Add_index.sql"), "SELECT -3;");
+        MigrationFileReader directoryReader = new MigrationFileReader(migrationsDir);
+
+        assertEquals(List.of("V3__Add_index.sql"), directoryReader.findMigrationFiles("migrations"),
+                "Migrations should be found in the configured directory!");
+        assertEquals("SELECT -3;", directoryReader.readMigrationFile("migrations/U3__Add_index.sql"),
+                "Rollback files should be read from the configured directory!");
+    }
 }
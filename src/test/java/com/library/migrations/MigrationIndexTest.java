@@ -0,0 +1,80 @@
+package com.library.migrations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationIndexTest {
+
+    @TempDir
+    Path migrationsDir;
+
+    @Test
+    void testFindMigrationFiles_SortedByVersion() throws IOException {
+        Files.writeString(migrationsDir.resolve("V10__Add_index.sql"), "SELECT 10;");
+        Files.writeString(migrationsDir.resolve("V2__Add_column.sql"), "SELECT 2;");
+        Files.writeString(migrationsDir.resolve("U2__Add_column.sql"), "SELECT -2;");
+
+        try (MigrationIndex index = new MigrationIndex(migrationsDir)) {
+            assertEquals(List.of("V2__Add_column.sql", "V10__Add_index.sql"), index.findMigrationFiles("migrations"),
+                    "Only V-migrations should be indexed, sorted by version!");
+        }
+    }
+
+    @Test
+    void testReadMigrationFile_Success() throws IOException {
+        Files.writeString(migrationsDir.resolve("U1__Create_table.sql"), "DROP TABLE users;");
+
+        try (MigrationIndex index = new MigrationIndex(migrationsDir)) {
+            assertEquals("DROP TABLE users;", index.readMigrationFile("migrations/U1__Create_table.sql"),
+                    "Content should be read from the indexed directory!");
+        }
+    }
+
+    @Test
+    void testReadMigrationFile_FileNotFound() throws IOException {
+        try (MigrationIndex index = new MigrationIndex(migrationsDir)) {
+            assertThrows(IOException.class, () -> index.readMigrationFile("migrations/nonexistent.sql"),
+                    "Should throw IOException for nonexistent files!");
+        }
+    }
+
+    @Test
+    void testResourceIndex_BuiltOnce() throws Exception {
+        try (MigrationIndex index = new MigrationIndex("migrations")) {
+            assertEquals(new MigrationFileReader(null).findMigrationFiles("migrations"), index.findMigrationFiles("migrations"),
+                    "Resource index should contain the same migrations as the classpath scan!");
+            assertFalse(index.readMigrationFile("migrations/U1__Create_table.sql").isEmpty(),
+                    "Rollback files should be readable from the resource index!");
+        }
+    }
+
+    @Test
+    void testNewFileVisibleImmediately() throws IOException {
+        try (MigrationIndex index = new MigrationIndex(migrationsDir)) {
+            assertTrue(index.findMigrationFiles("migrations").isEmpty(), "Index should be empty initially!");
+
+            Files.writeString(migrationsDir.resolve("V1__Create_table.sql"), "SELECT 1;");
+
+            assertEquals(List.of("V1__Create_table.sql"), index.findMigrationFiles("migrations"),
+                    "New migration files should be visible without waiting for the watcher!");
+        }
+    }
+
+    @Test
+    void testDirectoryRecreated() throws IOException {
+        Path directory = Files.createDirectory(migrationsDir.resolve("migrations"));
+        try (MigrationIndex index = new MigrationIndex(directory)) {
+            Files.delete(directory);
+            Files.createDirectory(directory);
+            Files.writeString(directory.resolve("V1__Create_table.sql"), "SELECT 1;");
+
+            assertEquals(List.of("V1__Create_table.sql"), index.findMigrationFiles("migrations"),
+                    "Migrations should be listed after the directory is recreated!");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.library.migrations;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.sql.SQLException;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MigrationServerTest {
+
+    private static final int PORT = 8085;
+
+    private MigrationServer createServer(String host, int port, String token) throws IOException {
+        InetAddress address = InetAddress.getByName(host);
+        return new MigrationServer(HttpServer.create(), new MigrationFileReader(null), () -> null,
+                MigrationServer.allowedHosts(host, address), port, token);
+    }
+
+    private static Headers headers(String... nameValuePairs) {
+        Headers headers = new Headers();
+        for (int i = 0; i < nameValuePairs.length; i += 2) {
+            headers.add(nameValuePairs[i], nameValuePairs[i + 1]);
+        }
+        return headers;
+    }
+
+    private static Integer status(MigrationServer.Response response) {
+        return response == null ? null : response.status();
+    }
+
+    @Test
+    void testCheckRequest_WrongMethod() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+        assertEquals(405, status(server.checkRequest("POST", "GET", headers("Host", "127.0.0.1:8085"))),
+                "Wrong HTTP method should be rejected with 405!");
+    }
+
+    @Test
+    void testCheckRequest_OriginRejected() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+        assertEquals(403, status(server.checkRequest("POST", "POST",
+                        headers("Host", "127.0.0.1:8085", "Origin", "http://evil.example", "X-Migration-Token", "x"))),
+                "Requests with an Origin header should be rejected with 403!");
+    }
+
+    @Test
+    void testCheckRequest_ForeignHostRejected() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+        assertEquals(403, status(server.checkRequest("GET", "GET", headers("Host", "evil.example:8085"))),
+                "Foreign Host header should be rejected with 403!");
+        assertEquals(403, status(server.checkRequest("GET", "GET", headers("Host", "127.0.0.1:9999"))),
+                "Host header with another port should be rejected with 403!");
+        assertEquals(403, status(server.checkRequest("GET", "GET", headers())),
+                "Missing Host header should be rejected with 403!");
+    }
+
+    @Test
+    void testCheckRequest_LoopbackHostsAllowed() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+        for (String host : new String[]{"127.0.0.1:8085", "localhost:8085", "LOCALHOST:8085", "[::1]:8085"}) {
+            assertNull(server.checkRequest("GET", "GET", headers("Host", host)),
+                    "Loopback Host header should be allowed: " + host);
+        }
+    }
+
+    @Test
+    void testCheckRequest_DefaultPortAndIpv6Host() throws IOException {
+        assertNull(createServer("127.0.0.1", 80, null).checkRequest("GET", "GET", headers("Host", "localhost")),
+                "Host header without a port should match port 80!");
+        assertNull(createServer("::1", PORT, null).checkRequest("GET", "GET", headers("Host", "[::1]:8085")),
+                "Bracketed IPv6 Host header should match the configured IPv6 host!");
+    }
+
+    @Test
+    void testCheckRequest_WildcardHostAcceptsAnyName() throws IOException {
+        MigrationServer server = createServer("0.0.0.0", PORT, "secret");
+        assertNull(server.checkRequest("GET", "GET", headers("Host", "db-host.internal:8085")),
+                "Any host name should be allowed when bound to 0.0.0.0!");
+        assertEquals(403, status(server.checkRequest("GET", "GET", headers("Host", "db-host.internal:9999"))),
+                "Port should still be checked when bound to 0.0.0.0!");
+    }
+
+    @Test
+    void testCheckRequest_TokenRequiredForPost() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, "secret");
+        assertEquals(401, status(server.checkRequest("POST", "POST", headers("Host", "127.0.0.1:8085"))),
+                "POST without a token should be rejected with 401!");
+        assertEquals(401, status(server.checkRequest("POST", "POST",
+                        headers("Host", "127.0.0.1:8085", "X-Migration-Token", "wrong"))),
+                "POST with a wrong token should be rejected with 401!");
+        assertNull(server.checkRequest("POST", "POST", headers("Host", "127.0.0.1:8085", "X-Migration-Token", "secret")),
+                "POST with a valid token should be allowed!");
+        assertNull(server.checkRequest("GET", "GET", headers("Host", "127.0.0.1:8085")),
+                "GET /status shouldn't require a token!");
+    }
+
+    @Test
+    void testCheckRequest_AnyTokenWithoutConfiguredToken() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+        assertEquals(401, status(server.checkRequest("POST", "POST", headers("Host", "127.0.0.1:8085"))),
+                "POST without the token header should be rejected even without server.token!");
+        assertNull(server.checkRequest("POST", "POST", headers("Host", "127.0.0.1:8085", "X-Migration-Token", "x")),
+                "Any token header value should be allowed without server.token!");
+    }
+
+    @Test
+    void testCheckBindAddress() throws IOException {
+        assertThrows(IllegalStateException.class,
+                () -> MigrationServer.checkBindAddress(InetAddress.getByName("0.0.0.0"), null),
+                "Non-loopback address without server.token should be refused!");
+        assertDoesNotThrow(() -> MigrationServer.checkBindAddress(InetAddress.getByName("0.0.0.0"), "secret"),
+                "Non-loopback address with server.token should be allowed!");
+        assertDoesNotThrow(() -> MigrationServer.checkBindAddress(InetAddress.getByName("127.0.0.1"), null),
+                "Loopback address without server.token should be allowed!");
+    }
+
+    @Test
+    void testExecute_StatusMapping() throws IOException {
+        MigrationServer server = createServer("127.0.0.1", PORT, null);
+
+        MigrationServer.Response success = server.execute(manager -> "done");
+        assertEquals(200, success.status(), "Successful command should return 200!");
+        assertEquals("done", success.body(), "Response body should contain the command result!");
+
+        assertEquals(409, server.execute(manager -> {
+            throw new IllegalStateException("Migrations are already running");
+        }).status(), "Lock conflict should return 409!");
+
+        assertEquals(500, server.execute(manager -> {
+            throw new SQLException("boom");
+        }).status(), "Other errors should return 500!");
+    }
+}